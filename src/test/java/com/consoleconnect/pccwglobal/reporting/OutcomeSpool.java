@@ -0,0 +1,278 @@
+package com.consoleconnect.pccwglobal.reporting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+import net.serenitybdd.core.di.SerenityInfrastructure;
+import net.serenitybdd.model.di.ModelInfrastructure;
+import net.thucydides.core.steps.BaseStepListener;
+import net.thucydides.core.steps.StepEventBus;
+import net.thucydides.model.domain.ReportType;
+import net.thucydides.model.domain.TestOutcome;
+import net.thucydides.model.reports.json.JSONConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.reflect.Field;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Moves finished Serenity test outcomes out of the fork's heap and into an append-only spool file.
+ *
+ * Serenity keeps every outcome in memory until the fork exits: in the step listener of
+ * the runner, and in the fork-wide console logging listener, which only forgets the
+ * outcomes it logged when a JUnit 4 style test starts - never under Cucumber. Called
+ * after each runner (see the generated runners' @AfterClass), the spool appends the
+ * runner's outcomes - including report data and failure details - to the fork's spool
+ * file and then releases them from both listeners. With one runner per scenario
+ * (parallelScheme SCENARIO) the fork therefore holds at most one scenario at a time.
+ *
+ * Files written per fork to the directory given by the outcome.spool.dir system
+ * property, named "shard-&lt;index&gt;.&lt;host&gt;.&lt;pid&gt;" so forks of every agent can be
+ * collected into one folder:
+ * - &lt;fork&gt;.outcomes.ndjson - one JSON line per outcome: the Serenity result file name,
+ *   the heap used when the outcome was spooled and after the latest collection, and the
+ *   Serenity JSON outcome
+ * - &lt;fork&gt;.heap.properties - peak heap used after any collection of the fork, and peak
+ *   heap used overall, rewritten after every runner
+ *
+ * {@link SerenityResultMerger} rebuilds the Serenity results from the spool files.
+ * Spooling is disabled when outcome.spool.dir is not set.
+ *
+ * Author: QA Automation Team
+ * Version: 1.0.0
+ */
+public final class OutcomeSpool {
+    /** Logger instance for tracking outcome spooling. */
+    private static final Logger logger = LoggerFactory.getLogger(OutcomeSpool.class);
+
+    /** System property pointing at the directory outcomes are spooled to. */
+    public static final String DIRECTORY_PROPERTY = "outcome.spool.dir";
+
+    /** Suffix of the spool files holding the outcomes. */
+    public static final String OUTCOMES_SUFFIX = ".outcomes.ndjson";
+
+    /** Shared ObjectMapper instance for writing spool records. */
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    /** Name prefix of the spool files of this fork. */
+    private static final String FORK_ID = "shard-" + System.getProperty("shard.index", "0").trim()
+            + "." + hostName() + "." + ProcessHandle.current().pid();
+
+    /** Heap memory pools of the running collector. */
+    private static final List<MemoryPoolMXBean> HEAP_POOLS = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+
+    /** Names of the heap memory pools, to pick them out of the collection reports. */
+    private static final Set<String> HEAP_POOL_NAMES = HEAP_POOLS.stream()
+            .map(MemoryPoolMXBean::getName)
+            .collect(Collectors.toSet());
+
+    /** Heap used right after the latest collection; -1 until a collection has been seen. */
+    private static final AtomicLong heapAfterLatestGc = new AtomicLong(-1);
+
+    /** Highest heap used right after any collection; -1 until a collection has been seen. */
+    private static final AtomicLong peakHeapAfterGc = new AtomicLong(-1);
+
+    /** Number of collections observed. */
+    private static final AtomicLong collections = new AtomicLong();
+
+    /** Number of outcomes spooled by this fork. */
+    private static long spooled;
+
+    /** Whether releasing the outcomes logged by Serenity has already failed and been reported. */
+    private static boolean releaseFailureReported;
+
+    static {
+        listenToCollections();
+    }
+
+    private OutcomeSpool() {
+    }
+
+    /**
+     * Spools the outcomes held by the current step event bus and releases them from memory.
+     * Called once all scenarios of a runner have finished and Serenity has written its reports.
+     */
+    public static synchronized void spoolFinishedOutcomes() {
+        String configured = System.getProperty(DIRECTORY_PROPERTY, "").trim();
+        if (configured.isEmpty()) {
+            return;
+        }
+        BaseStepListener listener = StepEventBus.getEventBus().getBaseStepListener();
+        List<TestOutcome> outcomes = new ArrayList<>(listener.getTestOutcomes());
+        if (outcomes.isEmpty()) {
+            return;
+        }
+
+        Path directory = Path.of(configured);
+        try {
+            Files.createDirectories(directory);
+            JSONConverter converter = ModelInfrastructure.getJsonConverter();
+            try (OutputStream spool = new BufferedOutputStream(Files.newOutputStream(directory.resolve(FORK_ID + OUTCOMES_SUFFIX),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+                OutputStream record = new SingleLineOutputStream(spool);
+                for (TestOutcome outcome : outcomes) {
+                    String header = "{\"file\":" + mapper.writeValueAsString(outcome.getReportName(ReportType.JSON))
+                            + ",\"heapUsed\":" + heapUsed()
+                            + ",\"heapUsedAfterGc\":" + heapAfterLatestGc.get()
+                            + ",\"outcome\":";
+                    spool.write(header.getBytes(StandardCharsets.UTF_8));
+                    converter.toJson(outcome, record);
+                    spool.write("}\n".getBytes(StandardCharsets.UTF_8));
+                }
+            }
+
+            listener.clearTestOutcomes();
+            releaseLoggedOutcomes();
+            spooled += outcomes.size();
+            writeHeapReport(directory);
+        } catch (IOException e) {
+            logger.warn("Failed to spool {} outcomes to {} - keeping them in memory", outcomes.size(), directory, e);
+        }
+    }
+
+    /**
+     * Empties the set of outcomes Serenity's console logging listener has already logged.
+     * The set is private and only cleared by testStarted(String), which Cucumber never calls.
+     */
+    private static void releaseLoggedOutcomes() {
+        Object consoleListener = SerenityInfrastructure.getLoggingListener();
+        try {
+            Field reported = consoleListener.getClass().getDeclaredField("reportedOutcomes");
+            reported.setAccessible(true);
+            ((Collection<?>) reported.get(consoleListener)).clear();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            if (!releaseFailureReported) {
+                releaseFailureReported = true;
+                logger.warn("Cannot release the outcomes logged by {} - every finished outcome stays in memory",
+                        consoleListener.getClass().getName(), e);
+            }
+        }
+    }
+
+    /** Rewrites the fork's heap report with the peaks observed so far. */
+    private static void writeHeapReport(Path directory) throws IOException {
+        String report = "fork=" + FORK_ID + System.lineSeparator()
+                + "outcomes=" + spooled + System.lineSeparator()
+                + "collections=" + collections.get() + System.lineSeparator()
+                + "peak.heap.used.after.gc.bytes=" + peakHeapAfterGc.get() + System.lineSeparator()
+                + "peak.heap.used.bytes=" + peakHeapUsed() + System.lineSeparator()
+                + "max.heap.bytes=" + Runtime.getRuntime().maxMemory() + System.lineSeparator();
+        Files.writeString(directory.resolve(FORK_ID + ".heap.properties"), report, StandardCharsets.UTF_8);
+        logger.debug("Fork {} spooled {} outcomes, peak heap after GC: {} KB", FORK_ID, spooled, peakHeapAfterGc.get() >> 10);
+    }
+
+    /** Heap currently used, live and garbage, summed over the heap pools. */
+    private static long heapUsed() {
+        return HEAP_POOLS.stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+    }
+
+    /** Highest usage of every heap pool since the fork started, summed. */
+    private static long peakHeapUsed() {
+        return HEAP_POOLS.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+    }
+
+    /**
+     * Records the heap used after every collection - young and old alike - starting
+     * with the latest collection of each collector that ran before this class was loaded.
+     */
+    private static void listenToCollections() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof com.sun.management.GarbageCollectorMXBean gcBean && gcBean.getLastGcInfo() != null) {
+                recordCollection(gcBean.getLastGcInfo());
+            }
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener((notification, handback) -> {
+                    if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                        recordCollection(GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData()).getGcInfo());
+                    }
+                }, null, null);
+            }
+        }
+        if (HEAP_POOLS.isEmpty()) {
+            logger.warn("No heap memory pools found - heap usage will not be reported");
+        }
+    }
+
+    /** Records the heap used right after a collection. */
+    private static void recordCollection(GcInfo collection) {
+        long used = 0;
+        for (Map.Entry<String, MemoryUsage> pool : collection.getMemoryUsageAfterGc().entrySet()) {
+            if (HEAP_POOL_NAMES.contains(pool.getKey())) {
+                used += pool.getValue().getUsed();
+            }
+        }
+        heapAfterLatestGc.set(used);
+        peakHeapAfterGc.accumulateAndGet(used, Math::max);
+        collections.incrementAndGet();
+    }
+
+    /** Resolves the host name, so spool files of different agents never collide. */
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown-host";
+        }
+    }
+
+    /**
+     * Passes a JSON document through without its line breaks, so it fits on one spool line.
+     * Line breaks inside JSON strings are always escaped, so only formatting is dropped.
+     * Closing it leaves the spool file open.
+     */
+    private static final class SingleLineOutputStream extends FilterOutputStream {
+        private SingleLineOutputStream(OutputStream spool) {
+            super(spool);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (b != '\n' && b != '\r') {
+                out.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            int start = offset;
+            for (int i = offset; i < offset + length; i++) {
+                if (bytes[i] == '\n' || bytes[i] == '\r') {
+                    out.write(bytes, start, i - start);
+                    start = i + 1;
+                }
+            }
+            out.write(bytes, start, offset + length - start);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
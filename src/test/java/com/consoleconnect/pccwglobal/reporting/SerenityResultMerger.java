@@ -0,0 +1,249 @@
+package com.consoleconnect.pccwglobal.reporting;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.thucydides.model.domain.TestResult;
+import net.thucydides.model.domain.TestResultList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Merges the Serenity JSON results of several runs (e.g. CI shards) into one results directory.
+ *
+ * Results are read from every site/serenity folder and every {@link OutcomeSpool} file
+ * found below the source directory. Serenity names every result file after the scenario
+ * it describes, so results of different scenarios never collide. Results sharing a file
+ * name describe the same scenario - run by several runners, shards or reruns - and are merged:
+ * - Scenario Outlines: the example steps of every run are combined, matched to their
+ *   example row by line number, then renumbered and re-evaluated
+ * - Other scenarios: the most recent run wins
+ *
+ * Screenshots and other non JSON files are copied alongside the merged results, so
+ * "mvn serenity:aggregate" can then build a single report from the output directory.
+ *
+ * Usage: SerenityResultMerger &lt;directory searched for results&gt; &lt;output directory&gt;
+ *
+ * Author: QA Automation Team
+ * Version: 1.0.0
+ */
+public final class SerenityResultMerger {
+    /** Logger instance for tracking result merging. */
+    private static final Logger logger = LoggerFactory.getLogger(SerenityResultMerger.class);
+
+    /** Shared ObjectMapper instance for reading and writing Serenity results. */
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    /** Result of the example rows no merged run executed. */
+    private static final String NOT_EXECUTED = TestResult.UNDEFINED.name();
+
+    private SerenityResultMerger() {
+    }
+
+    /**
+     * @param args the directory searched for results, and the output directory
+     * @throws IOException if a result cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: SerenityResultMerger <source directory> <output directory>");
+        }
+        merge(Path.of(args[0]), Path.of(args[1]));
+    }
+
+    /**
+     * Merges the results of every site/serenity folder and outcome spool file below
+     * the source directory into the output directory.
+     *
+     * @param sourceRoot directory searched for results
+     * @param outputDirectory directory the merged results are written to
+     * @return number of merged result files written
+     * @throws IOException if a result cannot be read or written
+     */
+    public static int merge(Path sourceRoot, Path outputDirectory) throws IOException {
+        Path output = outputDirectory.toAbsolutePath().normalize();
+        Map<String, List<ObjectNode>> resultsByFile = new TreeMap<>();
+        Files.createDirectories(output);
+
+        for (Path resultDirectory : resultDirectories(sourceRoot, output)) {
+            logger.info("Merging Serenity results from {}", resultDirectory);
+            for (Path file : listFiles(resultDirectory)) {
+                String fileName = file.getFileName().toString();
+                if (fileName.endsWith(".json")) {
+                    JsonNode result = mapper.readTree(file.toFile());
+                    if (isTestOutcome(result)) {
+                        resultsByFile.computeIfAbsent(fileName, name -> new ArrayList<>()).add((ObjectNode) result);
+                    }
+                } else if (!Files.exists(output.resolve(fileName))) {
+                    Files.copy(file, output.resolve(fileName), StandardCopyOption.COPY_ATTRIBUTES);
+                }
+            }
+        }
+
+        for (Path spool : spoolFiles(sourceRoot)) {
+            logger.info("Merging spooled outcomes from {}", spool);
+            try (BufferedReader reader = Files.newBufferedReader(spool, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    JsonNode record;
+                    try {
+                        record = mapper.readTree(line);
+                    } catch (JsonProcessingException e) {
+                        logger.warn("Skipping an incomplete spool record in {}", spool);
+                        continue;
+                    }
+                    if (isTestOutcome(record.path("outcome"))) {
+                        resultsByFile.computeIfAbsent(record.path("file").asText(), name -> new ArrayList<>())
+                                .add((ObjectNode) record.path("outcome"));
+                    }
+                }
+            }
+        }
+
+        for (Map.Entry<String, List<ObjectNode>> entry : resultsByFile.entrySet()) {
+            mapper.writerWithDefaultPrettyPrinter()
+                    .writeValue(output.resolve(entry.getKey()).toFile(), mergeOutcomes(entry.getValue()));
+        }
+        logger.info("Merged {} Serenity results into {}", resultsByFile.size(), output);
+        return resultsByFile.size();
+    }
+
+    /**
+     * Merges several results of the same scenario into one.
+     *
+     * @param outcomes Serenity JSON results of the same scenario, in the order they were found
+     * @return the merged result
+     */
+    public static ObjectNode mergeOutcomes(List<ObjectNode> outcomes) {
+        if (outcomes.size() == 1) {
+            return outcomes.get(0);
+        }
+        boolean outline = outcomes.stream().allMatch(outcome -> outcome.path("dataTable").path("rows").isArray());
+        if (!outline) {
+            return outcomes.stream().max(Comparator.comparing(outcome -> instantOf(outcome.path("startTime")))).orElseThrow();
+        }
+
+        // Latest execution of every example, keyed by example row line number
+        Map<Integer, ObjectNode> examples = new LinkedHashMap<>();
+        for (ObjectNode outcome : outcomes) {
+            for (JsonNode step : outcome.path("testSteps")) {
+                examples.merge(step.path("lineNumber").asInt(), (ObjectNode) step, (earlier, later) ->
+                        instantOf(later.path("startTime")).isBefore(instantOf(earlier.path("startTime"))) ? earlier : later);
+            }
+        }
+
+        ObjectNode merged = outcomes.stream()
+                .max(Comparator.comparing((ObjectNode outcome) -> severityOf(outcome.path("result")))
+                        .thenComparing(outcome -> instantOf(outcome.path("startTime")), Comparator.reverseOrder()))
+                .orElseThrow()
+                .deepCopy();
+
+        ArrayNode steps = mapper.createArrayNode();
+        List<TestResult> results = new ArrayList<>();
+        long duration = 0;
+        int[] number = {0};
+        for (JsonNode row : merged.path("dataTable").path("rows")) {
+            ObjectNode example = examples.remove(row.path("lineNumber").asInt());
+            ((ObjectNode) row).put("result", example == null ? NOT_EXECUTED : example.path("result").asText());
+            if (example != null) {
+                ObjectNode step = example.deepCopy();
+                step.put("description", step.path("description").asText().replaceFirst("^\\d+: ", (steps.size() + 1) + ": "));
+                renumber(step, number);
+                steps.add(step);
+                results.add(TestResult.valueOf(step.path("result").asText(NOT_EXECUTED)));
+                duration += step.path("duration").asLong();
+            }
+        }
+        if (!examples.isEmpty()) {
+            logger.warn("Dropping {} examples of '{}' without a matching example row", examples.size(), merged.path("name").asText());
+        }
+
+        merged.set("testSteps", steps);
+        merged.put("result", TestResultList.overallResultFrom(results).name());
+        merged.put("duration", duration);
+        merged.set("startTime", outcomes.stream().map(outcome -> outcome.path("startTime"))
+                .min(Comparator.comparing(SerenityResultMerger::instantOf)).orElseThrow());
+        merged.set("endTime", outcomes.stream().map(outcome -> outcome.path("endTime"))
+                .max(Comparator.comparing(SerenityResultMerger::instantOf)).orElseThrow());
+        return merged;
+    }
+
+    /** Tells whether a JSON document is a Serenity test outcome. */
+    private static boolean isTestOutcome(JsonNode result) {
+        return result.isObject() && result.has("testSteps") && result.has("userStory");
+    }
+
+    /** Finds every site/serenity folder below the source directory, except the output directory. */
+    private static List<Path> resultDirectories(Path sourceRoot, Path output) throws IOException {
+        if (!Files.isDirectory(sourceRoot)) {
+            logger.warn("No Serenity results to merge - {} does not exist", sourceRoot);
+            return List.of();
+        }
+        try (Stream<Path> tree = Files.walk(sourceRoot)) {
+            return tree.filter(Files::isDirectory)
+                    .filter(dir -> dir.endsWith(Path.of("site", "serenity")))
+                    .filter(dir -> !dir.toAbsolutePath().normalize().equals(output))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /** Finds every outcome spool file below the source directory. */
+    private static List<Path> spoolFiles(Path sourceRoot) throws IOException {
+        if (!Files.isDirectory(sourceRoot)) {
+            return List.of();
+        }
+        try (Stream<Path> tree = Files.walk(sourceRoot)) {
+            return tree.filter(Files::isRegularFile)
+                    .filter(file -> file.getFileName().toString().endsWith(OutcomeSpool.OUTCOMES_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /** Lists the regular files directly inside a directory, sorted by name. */
+    private static List<Path> listFiles(Path directory) throws IOException {
+        try (Stream<Path> listing = Files.list(directory)) {
+            return listing.filter(Files::isRegularFile).sorted().toList();
+        }
+    }
+
+    /** Assigns consecutive step numbers, depth first, as Serenity does. */
+    private static void renumber(ObjectNode step, int[] number) {
+        step.put("number", ++number[0]);
+        for (JsonNode child : step.path("children")) {
+            renumber((ObjectNode) child, number);
+        }
+    }
+
+    /** Parses a Serenity timestamp; missing timestamps sort first. */
+    private static Instant instantOf(JsonNode timestamp) {
+        return timestamp.isTextual() ? ZonedDateTime.parse(timestamp.asText()).toInstant() : Instant.MIN;
+    }
+
+    /** Ranks a Serenity result by severity. */
+    private static int severityOf(JsonNode result) {
+        return TestResult.existsWithName(result.asText()) ? TestResult.valueOf(result.asText()).getPriority() : 0;
+    }
+}
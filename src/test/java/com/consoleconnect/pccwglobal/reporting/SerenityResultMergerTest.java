@@ -0,0 +1,126 @@
+package com.consoleconnect.pccwglobal.reporting;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link SerenityResultMerger}.
+ *
+ * Author: QA Automation Team
+ * Version: 1.0.0
+ */
+class SerenityResultMergerTest {
+
+    /** Shared ObjectMapper instance for building Serenity results. */
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    /** Example row line numbers of the outline used by the tests. */
+    private static final List<Integer> ROWS = List.of(11, 12, 13);
+
+    @Test
+    void outlineExamplesRunSeparatelyAreMergedIntoOneResult() {
+        ObjectNode first = outline("2026-10-19T10:00:00Z", example(12, "FAILURE", "2026-10-19T10:00:01Z", 300));
+        ObjectNode second = outline("2026-10-19T10:00:05Z", example(11, "SUCCESS", "2026-10-19T10:00:06Z", 200),
+                example(13, "SUCCESS", "2026-10-19T10:00:07Z", 100));
+
+        ObjectNode merged = SerenityResultMerger.mergeOutcomes(List.of(first, second));
+
+        assertEquals(List.of(11, 12, 13), lineNumbers(merged));
+        assertEquals(List.of("1: example", "2: example", "3: example"), values(merged.path("testSteps"), "description"));
+        assertEquals(List.of("1", "3", "5"), values(merged.path("testSteps"), "number"));
+        assertEquals(List.of("SUCCESS", "FAILURE", "SUCCESS"), values(merged.path("dataTable").path("rows"), "result"));
+        assertEquals("FAILURE", merged.path("result").asText());
+        assertEquals(600, merged.path("duration").asLong());
+        assertEquals("2026-10-19T10:00:00Z", merged.path("startTime").asText());
+    }
+
+    @Test
+    void aRerunReplacesTheEarlierResult() {
+        ObjectNode failed = scenario("2026-10-19T10:00:00Z", "FAILURE");
+        ObjectNode rerun = scenario("2026-10-19T10:05:00Z", "SUCCESS");
+
+        assertEquals("SUCCESS", SerenityResultMerger.mergeOutcomes(List.of(rerun, failed)).path("result").asText());
+    }
+
+    @Test
+    void aRerunOfAnExampleReplacesItsEarlierRun() {
+        ObjectNode failed = outline("2026-10-19T10:00:00Z", example(11, "FAILURE", "2026-10-19T10:00:01Z", 100),
+                example(12, "SUCCESS", "2026-10-19T10:00:02Z", 100));
+        ObjectNode rerun = outline("2026-10-19T10:05:00Z", example(11, "SUCCESS", "2026-10-19T10:05:01Z", 100));
+
+        ObjectNode merged = SerenityResultMerger.mergeOutcomes(List.of(failed, rerun));
+
+        assertEquals(List.of("SUCCESS", "SUCCESS", "UNDEFINED"), values(merged.path("dataTable").path("rows"), "result"));
+        assertEquals(List.of(11, 12), lineNumbers(merged));
+    }
+
+    @Test
+    void anExampleWithoutMatchingRowIsDropped() {
+        ObjectNode first = outline("2026-10-19T10:00:00Z", example(11, "SUCCESS", "2026-10-19T10:00:01Z", 100));
+        ObjectNode second = outline("2026-10-19T10:00:05Z", example(99, "FAILURE", "2026-10-19T10:00:06Z", 100));
+
+        ObjectNode merged = SerenityResultMerger.mergeOutcomes(List.of(first, second));
+
+        assertEquals(List.of(11), lineNumbers(merged));
+        assertEquals(100, merged.path("duration").asLong());
+    }
+
+    /** Builds the result of a plain scenario. */
+    private static ObjectNode scenario(String startTime, String result) {
+        ObjectNode outcome = mapper.createObjectNode();
+        outcome.put("name", "Valid login");
+        outcome.put("result", result);
+        outcome.put("startTime", startTime);
+        outcome.putArray("testSteps");
+        return outcome;
+    }
+
+    /** Builds the result of an outline run with the given example steps. */
+    private static ObjectNode outline(String startTime, ObjectNode... examples) {
+        ObjectNode outcome = mapper.createObjectNode();
+        outcome.put("name", "Invalid login");
+        outcome.put("result", examples[0].path("result").asText());
+        outcome.put("startTime", startTime);
+        outcome.put("endTime", startTime);
+        ArrayNode rows = outcome.putObject("dataTable").putArray("rows");
+        for (int line : ROWS) {
+            rows.addObject().put("lineNumber", line).put("result", "SUCCESS");
+        }
+        ArrayNode steps = outcome.putArray("testSteps");
+        for (ObjectNode example : examples) {
+            steps.add(example);
+        }
+        return outcome;
+    }
+
+    /** Builds the step of an example run, with one child step. */
+    private static ObjectNode example(int lineNumber, String result, String startTime, long duration) {
+        ObjectNode step = mapper.createObjectNode();
+        step.put("number", 7);
+        step.put("lineNumber", lineNumber);
+        step.put("description", "4: example");
+        step.put("result", result);
+        step.put("startTime", startTime);
+        step.put("duration", duration);
+        step.putArray("children").addObject().put("number", 8).put("description", "Given a user");
+        return step;
+    }
+
+    /** Example row line numbers of the steps of a merged outline. */
+    private static List<Integer> lineNumbers(ObjectNode outcome) {
+        return values(outcome.path("testSteps"), "lineNumber").stream().map(Integer::valueOf).toList();
+    }
+
+    /** Values of a field of every element of a JSON array. */
+    private static List<String> values(JsonNode array, String field) {
+        return StreamSupport.stream(array.spliterator(), false).map(node -> node.path(field).asText()).toList();
+    }
+}
@@ -0,0 +1,101 @@
+package com.consoleconnect.pccwglobal.sharding;
+
+import org.junit.runner.Description;
+import org.junit.runner.notification.RunListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JUnit listener recording the wall-clock cost of every executed scenario.
+ *
+ * Costs are keyed by {@link ScenarioKeys}, the same keys {@link ScenarioShardFilter}
+ * shards on, so the recorded cost files can be fed straight back into
+ * {@link ShardPlan} through the shard.costs system property. Each shard writes its
+ * own file, and a rerun of a runner merges into the file of its first run - the
+ * latest cost of a scenario replaces the earlier one.
+ *
+ * Author: QA Automation Team
+ * Version: 1.0.0
+ */
+public class ScenarioCostRecorder extends RunListener {
+    /** Logger instance for tracking cost recording. */
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioCostRecorder.class);
+
+    /** System property pointing at the directory recorded costs are written to. */
+    public static final String OUTPUT_PROPERTY = "shard.costs.output";
+
+    /** Keys of the scenarios being recorded. */
+    private final ScenarioKeys keys;
+
+    /** Start time in nanoseconds of every running scenario. */
+    private final Map<String, Long> started = new ConcurrentHashMap<>();
+
+    /** Cost in milliseconds of every finished scenario. */
+    private final Map<String, Long> costs = new ConcurrentHashMap<>();
+
+    /**
+     * @param keys keys of the scenarios being recorded
+     */
+    public ScenarioCostRecorder(ScenarioKeys keys) {
+        this.keys = keys;
+    }
+
+    @Override
+    public void testStarted(Description scenario) {
+        started.put(keys.keyOf(scenario), System.nanoTime());
+    }
+
+    @Override
+    public void testFinished(Description scenario) {
+        String key = keys.keyOf(scenario);
+        Long start = started.remove(key);
+        if (start != null) {
+            costs.put(key, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Merges the recorded costs into "&lt;runnerName&gt;.shard-&lt;shardIndex&gt;.properties"
+     * in the directory given by the shard.costs.output system property. Does nothing
+     * when the property is not set or no scenario was executed.
+     *
+     * @param runnerName name of the runner class the costs were recorded for
+     * @param shardIndex zero-based index of the shard the costs were recorded on
+     */
+    public void write(String runnerName, int shardIndex) {
+        String output = System.getProperty(OUTPUT_PROPERTY, "").trim();
+        if (output.isEmpty() || costs.isEmpty()) {
+            return;
+        }
+
+        Path file = Path.of(output, runnerName + ".shard-" + shardIndex + ".properties");
+        try {
+            Properties properties = new Properties();
+            if (Files.isRegularFile(file)) {
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+            }
+            costs.forEach((key, cost) -> properties.setProperty(key, Long.toString(cost)));
+
+            Files.createDirectories(file.getParent());
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                properties.store(writer, "Scenario costs in milliseconds recorded by " + runnerName + " on shard " + shardIndex);
+            }
+            logger.info("Recorded {} scenario costs to {}", costs.size(), file);
+        } catch (IOException e) {
+            logger.warn("Failed to record scenario costs to {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.consoleconnect.pccwglobal.sharding;
+
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.gherkin.Pickle;
+import org.junit.runner.Description;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stable keys identifying every scenario of a runner across shards, runs and machines.
+ *
+ * A key is "feature name / scenario name". When several pickles of a feature share
+ * a name - typically the examples of a Scenario Outline whose title has no
+ * placeholders - the key is suffixed with the pickle's position among them
+ * (" #1", " #2", ...), so every example is balanced and sharded on its own.
+ *
+ * JUnit descriptions of Cucumber pickles carry the pickle location ("uri:line") as
+ * their unique id, which is how a description is mapped back to its pickle.
+ *
+ * Author: QA Automation Team
+ * Version: 1.0.0
+ */
+public final class ScenarioKeys {
+    /** Logger instance for tracking scenario key resolution. */
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioKeys.class);
+
+    /** Private unique id field of JUnit descriptions; null if it cannot be accessed. */
+    private static final Field UNIQUE_ID = uniqueIdField();
+
+    /** Scenario key of every pickle, keyed by pickle location ("uri:line"). */
+    private final Map<String, String> keysByLocation;
+
+    private ScenarioKeys(Map<String, String> keysByLocation) {
+        this.keysByLocation = keysByLocation;
+    }
+
+    /**
+     * Computes the keys of every pickle of the given features.
+     *
+     * @param features the parsed features of a runner
+     * @return the scenario keys
+     */
+    public static ScenarioKeys of(List<Feature> features) {
+        Map<String, String> keysByLocation = new HashMap<>();
+        for (Feature feature : features) {
+            String featureName = feature.getName().orElse(feature.getUri().toString());
+            Map<String, Integer> namesakes = new HashMap<>();
+            for (Pickle pickle : feature.getPickles()) {
+                namesakes.merge(pickle.getName(), 1, Integer::sum);
+            }
+            Map<String, Integer> positions = new HashMap<>();
+            for (Pickle pickle : feature.getPickles()) {
+                String key = featureName + " / " + pickle.getName();
+                if (namesakes.get(pickle.getName()) > 1) {
+                    key += " #" + positions.merge(pickle.getName(), 1, Integer::sum);
+                }
+                keysByLocation.put(pickle.getUri() + ":" + pickle.getLocation().getLine(), key);
+            }
+        }
+        return new ScenarioKeys(keysByLocation);
+    }
+
+    /**
+     * Keeps only the keys of the scenarios of the given description, so a runner
+     * does not hold the keys of every scenario of its features.
+     *
+     * @param runner description of the scenarios a runner executes
+     * @return the keys of those scenarios
+     */
+    public ScenarioKeys restrictedTo(Description runner) {
+        Map<String, String> retained = new HashMap<>();
+        collect(runner, retained);
+        return new ScenarioKeys(retained);
+    }
+
+    /** Collects the keys of a description and of its descendants. */
+    private void collect(Description description, Map<String, String> retained) {
+        String location = locationOf(description);
+        if (location != null && keysByLocation.containsKey(location)) {
+            retained.put(location, keysByLocation.get(location));
+        }
+        for (Description child : description.getChildren()) {
+            collect(child, retained);
+        }
+    }
+
+    /**
+     * Resolves the key of a pickle.
+     *
+     * @param pickle a pickle of the features the keys were computed for
+     * @return the scenario key, or null for an unknown pickle
+     */
+    public String keyOf(Pickle pickle) {
+        return keysByLocation.get(pickle.getUri() + ":" + pickle.getLocation().getLine());
+    }
+
+    /**
+     * Resolves the key of a scenario description. Falls back to the JUnit display
+     * name for descriptions that cannot be mapped back to a pickle.
+     *
+     * @param scenario the scenario description
+     * @return the scenario key
+     */
+    public String keyOf(Description scenario) {
+        String key = keysByLocation.get(locationOf(scenario));
+        return key != null ? key : scenario.getDisplayName();
+    }
+
+    /** Reads the pickle location a Cucumber scenario description was created with. */
+    private static String locationOf(Description scenario) {
+        if (UNIQUE_ID == null) {
+            return null;
+        }
+        try {
+            Object uniqueId = UNIQUE_ID.get(scenario);
+            return uniqueId == null ? null : uniqueId.toString();
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /** Looks up the private unique id field of JUnit descriptions. */
+    private static Field uniqueIdField() {
+        try {
+            Field field = Description.class.getDeclaredField("fUniqueId");
+            field.setAccessible(true);
+            return field;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.warn("Cannot read scenario locations - scenarios are keyed by display name only", e);
+            return null;
+        }
+    }
+}
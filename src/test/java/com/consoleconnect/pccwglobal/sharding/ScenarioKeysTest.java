@@ -0,0 +1,68 @@
+package com.consoleconnect.pccwglobal.sharding;
+
+import io.cucumber.core.gherkin.Feature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link ScenarioKeys}.
+ *
+ * Author: QA Automation Team
+ * Version: 1.0.0
+ */
+class ScenarioKeysTest {
+
+    /** Feature with a scenario, an outline and a scenario named like the outline. */
+    private static final String FEATURE = String.join("\n",
+            "Feature: Login",
+            "",
+            "  Scenario: Valid login",
+            "    Given a user",
+            "",
+            "  Scenario Outline: Invalid login",
+            "    Given a user named <name>",
+            "",
+            "    Examples:",
+            "      | name  |",
+            "      | alice |",
+            "      | bob   |",
+            "",
+            "  Scenario: Invalid login",
+            "    Given a locked user",
+            "");
+
+    @Test
+    void sameNamedPicklesGetDistinctKeys(@TempDir Path features) throws IOException {
+        Files.writeString(features.resolve("Login.feature"), FEATURE);
+        List<Feature> parsed = ScenarioSelection.parse(features);
+        ScenarioKeys keys = ScenarioKeys.of(parsed);
+
+        List<String> actual = parsed.get(0).getPickles().stream().map(keys::keyOf).toList();
+
+        assertEquals(List.of("Login / Valid login", "Login / Invalid login #1", "Login / Invalid login #2",
+                "Login / Invalid login #3"), actual);
+    }
+
+    @Test
+    void keysDoNotDependOnTheLocationOfTheFeatureFile(@TempDir Path first, @TempDir Path second) throws IOException {
+        Files.writeString(first.resolve("Login.feature"), FEATURE);
+        Files.createDirectories(second.resolve("nested"));
+        Files.writeString(second.resolve("nested").resolve("Login.feature"), FEATURE);
+
+        assertEquals(keysOf(first), keysOf(second));
+    }
+
+    /** Keys of every pickle of the features below a directory. */
+    private static List<String> keysOf(Path features) throws IOException {
+        List<Feature> parsed = ScenarioSelection.parse(features);
+        ScenarioKeys keys = ScenarioKeys.of(parsed);
+        return parsed.stream().flatMap(feature -> feature.getPickles().stream()).map(keys::keyOf).toList();
+    }
+}
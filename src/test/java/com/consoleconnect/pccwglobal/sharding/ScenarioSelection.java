@@ -0,0 +1,124 @@
+package com.consoleconnect.pccwglobal.sharding;
+
+import io.cucumber.core.feature.FeatureParser;
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.core.options.CucumberProperties;
+import io.cucumber.core.options.CucumberPropertiesParser;
+import io.cucumber.core.options.RuntimeOptions;
+import io.cucumber.core.resource.Resource;
+import io.cucumber.tagexpressions.Expression;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * The scenarios selected for the current run, derived from the feature files and the
+ * Cucumber filters, so every shard balances the same set of scenarios.
+ *
+ * The filters are read the way Cucumber reads them: cucumber.properties on the
+ * classpath, then the environment, then the system properties - e.g.
+ * cucumber.filter.tags (CUCUMBER_TAGS in Jenkins) and cucumber.filter.name.
+ *
+ * Author: QA Automation Team
+ * Version: 1.0.0
+ */
+public final class ScenarioSelection {
+    /** Logger instance for tracking scenario selection. */
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioSelection.class);
+
+    /** System property pointing at the directory of the feature files. */
+    public static final String FEATURES_PROPERTY = "shard.features";
+
+    private ScenarioSelection() {
+    }
+
+    /**
+     * Loads the keys of every scenario below the given directory that the Cucumber
+     * filters of this run select.
+     *
+     * @param featuresDirectory directory of the feature files
+     * @return the keys of the selected scenarios, sorted
+     * @throws IOException if a feature file cannot be read
+     */
+    public static List<String> load(Path featuresDirectory) throws IOException {
+        List<Feature> features = parse(featuresDirectory);
+        ScenarioKeys keys = ScenarioKeys.of(features);
+        RuntimeOptions options = runtimeOptions();
+
+        List<String> selected = new ArrayList<>();
+        for (Feature feature : features) {
+            for (Pickle pickle : feature.getPickles()) {
+                if (isSelected(pickle, options)) {
+                    selected.add(keys.keyOf(pickle));
+                }
+            }
+        }
+        selected.sort(null);
+        logger.info("Selected {} scenarios from {}", selected.size(), featuresDirectory);
+        return selected;
+    }
+
+    /**
+     * Parses every feature file below the given directory.
+     *
+     * @param featuresDirectory directory of the feature files
+     * @return the parsed features, in file name order
+     * @throws IOException if a feature file cannot be read
+     */
+    public static List<Feature> parse(Path featuresDirectory) throws IOException {
+        if (!Files.isDirectory(featuresDirectory)) {
+            logger.warn("No feature files found at {}", featuresDirectory);
+            return List.of();
+        }
+        List<Path> files;
+        try (Stream<Path> tree = Files.walk(featuresDirectory)) {
+            files = tree.filter(path -> Files.isRegularFile(path) && path.toString().endsWith(".feature")).sorted().toList();
+        }
+
+        FeatureParser parser = new FeatureParser(UUID::randomUUID);
+        List<Feature> features = new ArrayList<>();
+        for (Path file : files) {
+            parser.parseResource(new Resource() {
+                @Override
+                public URI getUri() {
+                    return file.toAbsolutePath().toFile().toURI();
+                }
+
+                @Override
+                public InputStream getInputStream() throws IOException {
+                    return Files.newInputStream(file);
+                }
+            }).ifPresent(features::add);
+        }
+        return features;
+    }
+
+    /** Tells whether a pickle matches every tag expression and, if any, one of the name filters. */
+    private static boolean isSelected(Pickle pickle, RuntimeOptions options) {
+        for (Expression tags : options.getTagExpressions()) {
+            if (!tags.evaluate(pickle.getTags())) {
+                return false;
+            }
+        }
+        List<Pattern> names = options.getNameFilters();
+        return names.isEmpty() || names.stream().anyMatch(name -> name.matcher(pickle.getName()).find());
+    }
+
+    /** Reads the Cucumber options of this run, with the same precedence as Cucumber. */
+    private static RuntimeOptions runtimeOptions() {
+        RuntimeOptions fromFile = new CucumberPropertiesParser().parse(CucumberProperties.fromPropertiesFile()).build();
+        RuntimeOptions fromEnvironment = new CucumberPropertiesParser().parse(CucumberProperties.fromEnvironment()).build(fromFile);
+        return new CucumberPropertiesParser().parse(CucumberProperties.fromSystemProperties()).build(fromEnvironment);
+    }
+}
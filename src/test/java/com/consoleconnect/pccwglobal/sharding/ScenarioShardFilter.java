@@ -0,0 +1,76 @@
+package com.consoleconnect.pccwglobal.sharding;
+
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Filterable;
+import org.junit.runner.manipulation.NoTestsRemainException;
+
+/**
+ * JUnit filter that keeps only the scenarios owned by the current shard.
+ *
+ * The filter is applied to the Cucumber runner, whose children are feature
+ * runners. A feature is kept if at least one of its scenarios is owned by the
+ * shard; the feature runner is then filtered down to those scenarios. Filtering
+ * stops at scenario level so step descriptions are never considered. Scenarios
+ * are identified by their {@link ScenarioKeys} key, so the examples of a
+ * Scenario Outline are sharded individually.
+ *
+ * Author: QA Automation Team
+ * Version: 1.0.0
+ */
+public class ScenarioShardFilter extends Filter {
+    /** Plan deciding which scenarios belong to the current shard. */
+    private final ShardPlan plan;
+
+    /** Keys of the scenarios being filtered. */
+    private final ScenarioKeys keys;
+
+    /** Filter applied to the scenarios of each kept feature. */
+    private final Filter scenarioFilter = new Filter() {
+        @Override
+        public boolean shouldRun(Description scenario) {
+            return plan.owns(keys.keyOf(scenario));
+        }
+
+        @Override
+        public void apply(Object child) {
+            // Scenarios are the unit of sharding - do not descend into steps.
+        }
+
+        @Override
+        public String describe() {
+            return ScenarioShardFilter.this.describe();
+        }
+    };
+
+    /**
+     * @param plan plan deciding which scenarios belong to the current shard
+     * @param keys keys of the scenarios being filtered
+     */
+    public ScenarioShardFilter(ShardPlan plan, ScenarioKeys keys) {
+        this.plan = plan;
+        this.keys = keys;
+    }
+
+    @Override
+    public boolean shouldRun(Description feature) {
+        for (Description scenario : feature.getChildren()) {
+            if (scenarioFilter.shouldRun(scenario)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void apply(Object child) throws NoTestsRemainException {
+        if (child instanceof Filterable filterable) {
+            filterable.filter(scenarioFilter);
+        }
+    }
+
+    @Override
+    public String describe() {
+        return "shard " + plan.getIndex() + "/" + plan.getTotal();
+    }
+}
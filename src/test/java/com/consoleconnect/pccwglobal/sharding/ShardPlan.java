@@ -0,0 +1,263 @@
+package com.consoleconnect.pccwglobal.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Deterministic partitioning of Cucumber scenarios across CI shards.
+ *
+ * Every shard builds the same plan from the same inputs, so no coordination
+ * between agents is needed:
+ * - The scenarios selected for the run (see {@link ScenarioSelection}) are balanced
+ *   with a greedy longest-first assignment (most expensive scenario goes to the least
+ *   loaded shard). Scenarios without a recorded cost count as the average recorded cost.
+ * - Recorded costs of scenarios that are not selected - deleted, or excluded by the
+ *   tag filter - are ignored.
+ * - Scenarios outside the selection fall back to a stable CRC32 hash of their key.
+ *
+ * Configuration (system properties):
+ * - shard.index - zero-based index of the current shard (default 0)
+ * - shard.total - total number of shards (default 1, i.e. sharding disabled)
+ * - shard.costs - a cost properties file, or a directory of them (optional)
+ * - shard.features - directory of the feature files the selection is derived from
+ *   (optional - without it only the scenarios with a recorded cost are balanced)
+ *
+ * Author: QA Automation Team
+ * Version: 1.0.0
+ */
+public final class ShardPlan {
+    /** Logger instance for tracking shard assignment. */
+    private static final Logger logger = LoggerFactory.getLogger(ShardPlan.class);
+
+    /** System property holding the zero-based index of the current shard. */
+    public static final String INDEX_PROPERTY = "shard.index";
+
+    /** System property holding the total number of shards. */
+    public static final String TOTAL_PROPERTY = "shard.total";
+
+    /** System property pointing at the recorded scenario costs. */
+    public static final String COSTS_PROPERTY = "shard.costs";
+
+    /** Zero-based index of the current shard. */
+    private final int index;
+
+    /** Total number of shards. */
+    private final int total;
+
+    /** Plan of this fork, built once from the system properties. */
+    private static ShardPlan forkPlan;
+
+    /** Shard assignment of every balanced scenario. */
+    private final Map<String, Integer> assignments;
+
+    /**
+     * Creates a plan for the given shard balancing the scenarios with a recorded cost.
+     *
+     * @param index zero-based index of the current shard
+     * @param total total number of shards
+     * @param costs recorded scenario costs in milliseconds, keyed by scenario key
+     * @throws IllegalArgumentException if the index or total is out of range
+     */
+    public ShardPlan(int index, int total, Map<String, Long> costs) {
+        this(index, total, costs, costs.keySet());
+    }
+
+    /**
+     * Creates a plan for the given shard balancing the given scenarios.
+     *
+     * @param index zero-based index of the current shard
+     * @param total total number of shards
+     * @param costs recorded scenario costs in milliseconds, keyed by scenario key
+     * @param scenarios keys of the scenarios selected for the run
+     * @throws IllegalArgumentException if the index or total is out of range
+     */
+    public ShardPlan(int index, int total, Map<String, Long> costs, Collection<String> scenarios) {
+        if (total < 1) {
+            throw new IllegalArgumentException(TOTAL_PROPERTY + " must be at least 1 but was " + total);
+        }
+        if (index < 0 || index >= total) {
+            throw new IllegalArgumentException(INDEX_PROPERTY + " must be in [0, " + total + ") but was " + index);
+        }
+        this.index = index;
+        this.total = total;
+        this.assignments = balance(costs, scenarios, total);
+    }
+
+    /**
+     * Returns the plan of this JVM, built from the shard system properties on first use
+     * and shared by every runner of the fork.
+     *
+     * @return the shard plan
+     * @throws IOException if the recorded costs or the feature files cannot be read
+     */
+    public static synchronized ShardPlan fromSystemProperties() throws IOException {
+        if (forkPlan != null) {
+            return forkPlan;
+        }
+        int index = Integer.parseInt(System.getProperty(INDEX_PROPERTY, "0").trim());
+        int total = Integer.parseInt(System.getProperty(TOTAL_PROPERTY, "1").trim());
+        String costsLocation = System.getProperty(COSTS_PROPERTY, "").trim();
+        String featuresLocation = System.getProperty(ScenarioSelection.FEATURES_PROPERTY, "").trim();
+
+        Map<String, Long> costs = costsLocation.isEmpty() ? Map.of() : loadCosts(Paths.get(costsLocation));
+        if (total > 1 && !featuresLocation.isEmpty()) {
+            List<String> scenarios = ScenarioSelection.load(Paths.get(featuresLocation));
+            logger.info("Shard {}/{} planned over {} selected scenarios with {} recorded scenario costs",
+                    index, total, scenarios.size(), costs.size());
+            forkPlan = new ShardPlan(index, total, costs, scenarios);
+        } else {
+            logger.info("Shard {}/{} planned with {} recorded scenario costs", index, total, costs.size());
+            forkPlan = new ShardPlan(index, total, costs);
+        }
+        return forkPlan;
+    }
+
+    /**
+     * Loads recorded scenario costs from a properties file, or from every
+     * properties file in a directory tree (e.g. the scenario-costs directories of
+     * every shard). A scenario recorded in several files - by a runner that has
+     * since been renumbered, or by a former shard count - keeps its highest cost,
+     * so it is never counted twice.
+     *
+     * @param location a properties file or a directory of properties files
+     * @return recorded scenario costs in milliseconds; empty if the location does not exist
+     * @throws IOException if a cost file cannot be read
+     */
+    public static Map<String, Long> loadCosts(Path location) throws IOException {
+        Map<String, Long> costs = new HashMap<>();
+        if (Files.isDirectory(location)) {
+            List<Path> files;
+            try (Stream<Path> listing = Files.walk(location)) {
+                files = listing.filter(path -> Files.isRegularFile(path) && path.toString().endsWith(".properties")).sorted().toList();
+            }
+            for (Path file : files) {
+                readCostFile(file, costs);
+            }
+        } else if (Files.isRegularFile(location)) {
+            readCostFile(location, costs);
+        } else {
+            logger.info("No recorded scenario costs found at {}", location);
+        }
+        return costs;
+    }
+
+    /**
+     * @return true if more than one shard is configured
+     */
+    public boolean isEnabled() {
+        return total > 1;
+    }
+
+    /**
+     * @return zero-based index of the current shard
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return total number of shards
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Tells whether the given scenario belongs to the current shard.
+     *
+     * @param scenarioKey stable scenario key
+     * @return true if the scenario should run on this shard
+     */
+    public boolean owns(String scenarioKey) {
+        return shardOf(scenarioKey) == index;
+    }
+
+    /**
+     * Resolves the shard a scenario is assigned to.
+     *
+     * @param scenarioKey stable scenario key
+     * @return zero-based shard index
+     */
+    public int shardOf(String scenarioKey) {
+        Integer assigned = assignments.get(scenarioKey);
+        if (assigned != null) {
+            return assigned;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(scenarioKey.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % total);
+    }
+
+    /**
+     * Greedy longest-processing-time assignment of the given scenarios. Scenarios
+     * without a recorded cost count as the average recorded cost of the others.
+     * Ties are broken by key and by lowest shard index so that every shard computes
+     * the same result.
+     */
+    private static Map<String, Integer> balance(Map<String, Long> costs, Collection<String> scenarios, int total) {
+        long recorded = 0;
+        int withCost = 0;
+        for (String scenario : scenarios) {
+            Long cost = costs.get(scenario);
+            if (cost != null) {
+                recorded += cost;
+                withCost++;
+            }
+        }
+        long average = withCost == 0 ? 1 : Math.max(1, recorded / withCost);
+
+        Map<String, Long> estimates = new HashMap<>();
+        for (String scenario : scenarios) {
+            estimates.put(scenario, costs.getOrDefault(scenario, average));
+        }
+        List<Map.Entry<String, Long>> ordered = new ArrayList<>(estimates.entrySet());
+        ordered.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+
+        long[] loads = new long[total];
+        Map<String, Integer> assignments = new HashMap<>();
+        for (Map.Entry<String, Long> entry : ordered) {
+            int lightest = 0;
+            for (int shard = 1; shard < total; shard++) {
+                if (loads[shard] < loads[lightest]) {
+                    lightest = shard;
+                }
+            }
+            loads[lightest] += entry.getValue();
+            assignments.put(entry.getKey(), lightest);
+        }
+        return assignments;
+    }
+
+    /** Reads a single cost properties file into the given map. */
+    private static void readCostFile(Path file, Map<String, Long> costs) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                costs.merge(key, Long.parseLong(properties.getProperty(key).trim()), Math::max);
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring non numeric cost '{}' for scenario '{}' in {}", properties.getProperty(key), key, file);
+            }
+        }
+        logger.debug("Loaded scenario costs from {}", file);
+    }
+}
@@ -0,0 +1,128 @@
+package com.consoleconnect.pccwglobal.sharding;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link ShardPlan}.
+ *
+ * Author: QA Automation Team
+ * Version: 1.0.0
+ */
+class ShardPlanTest {
+
+    /** Scenario keys, the first half of which have a recorded cost. */
+    private static final List<String> KEYS = new ArrayList<>();
+
+    /** Recorded costs of the first half of the scenario keys. */
+    private static final Map<String, Long> COSTS = new HashMap<>();
+
+    static {
+        for (int i = 0; i < 40; i++) {
+            String key = "Feature " + (i % 4) + " / Scenario " + i;
+            KEYS.add(key);
+            if (i < 20) {
+                COSTS.put(key, (long) (i * 37 % 11 + 1) * 100);
+            }
+        }
+    }
+
+    @Test
+    void everyKeyIsOwnedByExactlyOneShard() {
+        int total = 3;
+        List<ShardPlan> shards = new ArrayList<>();
+        for (int index = 0; index < total; index++) {
+            shards.add(new ShardPlan(index, total, COSTS));
+        }
+
+        for (String key : KEYS) {
+            long owners = shards.stream().filter(shard -> shard.owns(key)).count();
+            assertEquals(1, owners, "owners of " + key);
+        }
+    }
+
+    @Test
+    void sameInputsGiveTheSameSplit() {
+        Map<String, Long> reversed = new LinkedHashMap<>();
+        for (int i = KEYS.size() - 1; i >= 0; i--) {
+            if (COSTS.containsKey(KEYS.get(i))) {
+                reversed.put(KEYS.get(i), COSTS.get(KEYS.get(i)));
+            }
+        }
+        ShardPlan first = new ShardPlan(0, 4, COSTS);
+        ShardPlan second = new ShardPlan(2, 4, reversed);
+
+        for (String key : KEYS) {
+            assertEquals(first.shardOf(key), second.shardOf(key), "shard of " + key);
+        }
+    }
+
+    @Test
+    void longestFirstPutsTheExpectedKeysOnEachShard() {
+        Map<String, Long> costs = Map.of("a", 10L, "b", 9L, "c", 8L, "d", 3L, "e", 2L, "f", 2L);
+        ShardPlan plan = new ShardPlan(0, 2, costs);
+
+        // a -> 0 (10/0), b -> 1 (10/9), c -> 1 (10/17), d -> 0 (13/17), e -> 0 (15/17), f -> 0 (17/17)
+        assertEquals(0, plan.shardOf("a"));
+        assertEquals(1, plan.shardOf("b"));
+        assertEquals(1, plan.shardOf("c"));
+        assertEquals(0, plan.shardOf("d"));
+        assertEquals(0, plan.shardOf("e"));
+        assertEquals(0, plan.shardOf("f"));
+    }
+
+    @Test
+    void hashFallbackNeverReturnsAnIndexOutOfRange() {
+        for (int total = 1; total <= 16; total++) {
+            ShardPlan plan = new ShardPlan(0, total, Map.of());
+            for (int i = 0; i < 1000; i++) {
+                int shard = plan.shardOf("Feature / Scenario é中 " + i);
+                assertTrue(shard >= 0 && shard < total, "shard " + shard + " of " + total);
+            }
+        }
+    }
+
+    @Test
+    void costsOfScenariosOutsideTheSelectionAreIgnored() {
+        Map<String, Long> costs = Map.of("deleted", 100L, "a", 5L, "b", 4L, "c", 1L);
+        ShardPlan plan = new ShardPlan(0, 2, costs, List.of("a", "b", "c"));
+
+        // Without "deleted" taking a whole shard: a -> 0 (5/0), b -> 1 (5/4), c -> 1 (5/5)
+        assertEquals(0, plan.shardOf("a"));
+        assertEquals(1, plan.shardOf("b"));
+        assertEquals(1, plan.shardOf("c"));
+    }
+
+    @Test
+    void scenariosWithoutCostCountAsTheAverageCost() {
+        Map<String, Long> costs = Map.of("a", 6L, "b", 2L);
+        ShardPlan plan = new ShardPlan(0, 2, costs, List.of("a", "b", "x", "y"));
+
+        // x and y cost the average of 4: a -> 0 (6/0), x -> 1 (6/4), y -> 1 (6/8), b -> 0 (8/8)
+        assertEquals(0, plan.shardOf("a"));
+        assertEquals(1, plan.shardOf("x"));
+        assertEquals(1, plan.shardOf("y"));
+        assertEquals(0, plan.shardOf("b"));
+    }
+
+    @Test
+    void aScenarioInSeveralCostFilesKeepsItsHighestCost(@TempDir Path costs) throws IOException {
+        Files.writeString(costs.resolve("TestsParallelRunners01.shard-0.properties"), "Feature\\ /\\ Scenario=300\n");
+        Files.createDirectories(costs.resolve("old"));
+        Files.writeString(costs.resolve("old").resolve("TestsParallelRunners07.shard-2.properties"), "Feature\\ /\\ Scenario=500\n");
+
+        assertEquals(Map.of("Feature / Scenario", 500L), ShardPlan.loadCosts(costs));
+    }
+}
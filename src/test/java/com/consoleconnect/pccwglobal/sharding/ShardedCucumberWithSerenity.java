@@ -0,0 +1,189 @@
+package com.consoleconnect.pccwglobal.sharding;
+
+import io.cucumber.core.gherkin.Feature;
+import net.serenitybdd.cucumber.CucumberWithSerenity;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Filterable;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.InitializationError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serenity Cucumber runner that only executes the scenarios owned by the current shard.
+ *
+ * Responsibilities:
+ * - Build the {@link ShardPlan} from the shard.* system properties
+ * - Filter the feature scenarios down to the current shard
+ * - Record the cost of every executed scenario for future balancing
+ * - Hold the Cucumber and Serenity state of the runner only while it runs
+ *
+ * The scenarios are run by a wrapped {@link CucumberWithSerenity} runner, which
+ * holds the parsed features, the Serenity reporter and its test outcomes. JUnit
+ * Platform creates every runner before the first test runs and keeps them all
+ * reachable until the whole run ends, so the wrapped runner only exists while its
+ * scenarios run: discovery keeps just the scenario keys and the description, and
+ * {@link #run} creates the wrapped runner again, re-applying the shard filter and
+ * any filter JUnit applied in between. The heap held per runner therefore stays
+ * small however many scenarios the suite has.
+ *
+ * With the default shard.total of 1 the runner behaves exactly like
+ * {@link CucumberWithSerenity}.
+ *
+ * Serenity's own batching (serenity.batch.count / serenity.batch.number) is not
+ * used: it slices by scenario name, so the examples of a Scenario Outline always
+ * land in the same batch, and it only reads durations from CSV statistics on the
+ * test classpath.
+ *
+ * Author: QA Automation Team
+ * Version: 1.0.0
+ */
+public class ShardedCucumberWithSerenity extends Runner implements Filterable {
+    /** Logger instance for tracking shard filtering. */
+    private static final Logger logger = LoggerFactory.getLogger(ShardedCucumberWithSerenity.class);
+
+    /** Generated runner class. */
+    private final Class<?> runnerClass;
+
+    /** Plan deciding which scenarios belong to the current shard. */
+    private final ShardPlan plan;
+
+    /** Keys of the scenarios of this runner. */
+    private final ScenarioKeys keys;
+
+    /** Whether any scenario of this runner is assigned to the current shard. */
+    private final boolean owned;
+
+    /** Filters applied by JUnit since discovery, re-applied to the wrapped runner. */
+    private final List<Filter> filters = new ArrayList<>();
+
+    /** Description of the scenarios this runner executes. */
+    private Description description;
+
+    /** Serenity runner exposing the features it parsed. */
+    private static final class SerenityRunner extends CucumberWithSerenity {
+        private SerenityRunner(Class<?> clazz) throws InitializationError {
+            super(clazz);
+        }
+
+        private List<Feature> features() {
+            return getFeatures();
+        }
+    }
+
+    /**
+     * @param clazz the generated runner class
+     * @throws InitializationError if the runner or the shard plan cannot be initialized
+     */
+    public ShardedCucumberWithSerenity(Class<?> clazz) throws InitializationError {
+        this.runnerClass = clazz;
+        try {
+            this.plan = ShardPlan.fromSystemProperties();
+        } catch (IOException | IllegalArgumentException e) {
+            throw new InitializationError(e);
+        }
+
+        SerenityRunner discovery = new SerenityRunner(clazz);
+        this.keys = ScenarioKeys.of(discovery.features()).restrictedTo(discovery.getDescription());
+        boolean assigned = true;
+        if (plan.isEnabled()) {
+            try {
+                discovery.filter(new ScenarioShardFilter(plan, keys));
+            } catch (NoTestsRemainException e) {
+                logger.info("No scenarios of {} are assigned to shard {}/{}", clazz.getSimpleName(), plan.getIndex(), plan.getTotal());
+                assigned = false;
+            }
+        }
+        this.owned = assigned;
+        this.description = discovery.getDescription();
+    }
+
+    @Override
+    public Description getDescription() {
+        return description;
+    }
+
+    @Override
+    public void filter(Filter filter) throws NoTestsRemainException {
+        filters.add(filter);
+        try {
+            description = createRunner().getDescription();
+        } catch (InitializationError e) {
+            throw new IllegalStateException("Cannot filter " + runnerClass.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Creates the wrapped runner, runs the shard's scenarios on a dedicated thread
+     * while recording their cost, then releases it.
+     *
+     * @param notifier the JUnit run notifier
+     */
+    @Override
+    public void run(RunNotifier notifier) {
+        if (!owned) {
+            return;
+        }
+        SerenityRunner delegate;
+        try {
+            delegate = createRunner();
+        } catch (InitializationError | NoTestsRemainException e) {
+            notifier.fireTestFailure(new Failure(description, e));
+            return;
+        }
+
+        ScenarioCostRecorder recorder = new ScenarioCostRecorder(keys);
+        notifier.addListener(recorder);
+        try {
+            runOnOwnThread(delegate, notifier);
+        } finally {
+            notifier.removeListener(recorder);
+            recorder.write(runnerClass.getSimpleName(), plan.getIndex());
+        }
+    }
+
+    /** Creates the wrapped runner, filtered down to the shard's scenarios and by every filter applied so far. */
+    private SerenityRunner createRunner() throws InitializationError, NoTestsRemainException {
+        SerenityRunner runner = new SerenityRunner(runnerClass);
+        if (plan.isEnabled()) {
+            runner.filter(new ScenarioShardFilter(plan, keys));
+        }
+        for (Filter filter : filters) {
+            runner.filter(filter);
+        }
+        return runner;
+    }
+
+    /**
+     * Runs a runner on a dedicated thread and waits for it. Serenity keeps per-runner
+     * state (scenario context, step listeners, outcomes) in thread locals it never
+     * removes; they are released together with the thread.
+     */
+    private void runOnOwnThread(Runner runner, RunNotifier notifier) {
+        Throwable[] failure = new Throwable[1];
+        Thread thread = new Thread(() -> runner.run(notifier), runnerClass.getSimpleName());
+        thread.setUncaughtExceptionHandler((failed, e) -> failure[0] = e);
+        thread.start();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            thread.interrupt();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(runnerClass.getSimpleName() + " was interrupted", e);
+        }
+        if (failure[0] instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (failure[0] instanceof Error error) {
+            throw error;
+        }
+    }
+}